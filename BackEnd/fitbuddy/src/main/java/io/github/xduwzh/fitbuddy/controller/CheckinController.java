@@ -4,7 +4,9 @@ import io.github.xduwzh.fitbuddy.entity.Checkin;
 import io.github.xduwzh.fitbuddy.entity.UserCheckinStats;
 import io.github.xduwzh.fitbuddy.service.CheckinService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,7 +39,11 @@ public class CheckinController {
             @RequestParam Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
-        return checkinService.calendar(userId, start, end);
+        try {
+            return checkinService.calendar(userId, start, end);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     // Look up monthly check-in status（GET /checkin/month?userId=...&year=YYYY&month=M）
@@ -51,6 +57,21 @@ public class CheckinController {
         return checkinService.calendar(userId, first, last);
     }
 
+    // Page through check-in history by date（GET /checkin/history?userId=...&after=YYYY-MM-DD&limit=N）
+    @GetMapping("/history")
+    public List<Checkin> history(
+            @RequestParam Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(defaultValue = "30") int limit) {
+        return checkinService.history(userId, after, limit);
+    }
+
+    // Count all check-ins of a user（GET /checkin/total?userId=...）
+    @GetMapping("/total")
+    public long total(@RequestParam Long userId) {
+        return checkinService.total(userId);
+    }
+
     // Look up user check-in statistics（GET /checkin/stats?userId=...）
     @GetMapping("/stats")
     public UserCheckinStats stats(@RequestParam Long userId) {
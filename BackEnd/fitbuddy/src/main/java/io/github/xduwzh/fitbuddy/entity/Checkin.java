@@ -8,6 +8,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Range-partitioned by checkin_date; the table itself is created by schema.sql.
+// The database key is (id, checkin_date), so id alone is only unique because the column defaults to
+// nextval('checkins_id_seq'); IDENTITY still works since Hibernate reads the id back from the insert.
 @Entity
 @Table(name = "checkins", uniqueConstraints = {
         @UniqueConstraint(name = "uk_checkins_user_date", columnNames = {"user_id", "checkin_date"})
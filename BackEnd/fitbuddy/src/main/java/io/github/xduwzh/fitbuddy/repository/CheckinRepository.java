@@ -2,6 +2,7 @@ package io.github.xduwzh.fitbuddy.repository;
 
 import io.github.xduwzh.fitbuddy.entity.Checkin;
 import io.github.xduwzh.fitbuddy.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
@@ -12,4 +13,8 @@ public interface CheckinRepository extends JpaRepository<Checkin, Long> {
     boolean existsByUserAndCheckinDate(User user, LocalDate date);
     Optional<Checkin> findByUserAndCheckinDate(User user, LocalDate date);
     List<Checkin> findByUserAndCheckinDateBetween(User user, LocalDate start, LocalDate end);
+    long countByUser(User user);
+    List<Checkin> findByUserOrderByCheckinDateAsc(User user, Limit limit);
+    // Keyset page: strictly after the given date, so only partitions from that month on are read
+    List<Checkin> findByUserAndCheckinDateAfterOrderByCheckinDateAsc(User user, LocalDate after, Limit limit);
 }
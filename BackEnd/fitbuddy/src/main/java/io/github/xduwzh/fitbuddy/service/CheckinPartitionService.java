@@ -0,0 +1,50 @@
+package io.github.xduwzh.fitbuddy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Keeps the monthly partitions of the checkins table (see schema.sql) ahead of today
+// and optionally detaches the ones older than the retention window.
+@Service
+public class CheckinPartitionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public CheckinPartitionService(JdbcTemplate jdbcTemplate,
+                                   @Value("${fitbuddy.checkins.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${fitbuddy.checkins.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 3 * * *")
+    public void maintain() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(month.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            detachPartitionsBefore(month.minusMonths(retentionMonths));
+        }
+    }
+
+    public String createPartition(LocalDate month) {
+        return jdbcTemplate.queryForObject("SELECT create_checkins_partition(?)", String.class, month);
+    }
+
+    // Detached partitions stay around as plain tables so they can be archived or dropped separately
+    public List<String> detachPartitionsBefore(LocalDate cutoff) {
+        return jdbcTemplate.queryForList("SELECT detach_checkins_partitions_before(?)", String.class, cutoff);
+    }
+}
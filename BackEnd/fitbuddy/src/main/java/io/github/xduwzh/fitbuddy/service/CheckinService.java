@@ -6,10 +6,12 @@ import io.github.xduwzh.fitbuddy.entity.UserCheckinStats;
 import io.github.xduwzh.fitbuddy.repository.CheckinRepository;
 import io.github.xduwzh.fitbuddy.repository.UserCheckinStatsRepository;
 import io.github.xduwzh.fitbuddy.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -17,6 +19,10 @@ import java.util.NoSuchElementException;
 @Service
 public class CheckinService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    // A calendar request probes Redis once per day, so keep it to at most a year
+    private static final long MAX_CALENDAR_DAYS = 366;
+
     private final CheckinRepository checkinRepository;
     private final UserRepository userRepository;
     private final UserCheckinStatsRepository statsRepository;
@@ -81,6 +87,9 @@ public class CheckinService {
     }
 
     public List<Checkin> calendar(Long userId, LocalDate start, LocalDate end) {
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar range must be between 1 and " + MAX_CALENDAR_DAYS + " days");
+        }
         User user = getUserOrThrow(userId);
         // Backfill bitmap from DB for the requested range to keep historical data visible
         List<Checkin> existing = checkinRepository.findByUserAndCheckinDateBetween(user, start, end);
@@ -100,6 +109,20 @@ public class CheckinService {
         return result;
     }
 
+    public List<Checkin> history(Long userId, LocalDate after, int limit) {
+        User user = getUserOrThrow(userId);
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        // Callers pass the last date they got as the next cursor; no cursor means the first page
+        if (after == null) {
+            return checkinRepository.findByUserOrderByCheckinDateAsc(user, Limit.of(size));
+        }
+        return checkinRepository.findByUserAndCheckinDateAfterOrderByCheckinDateAsc(user, after, Limit.of(size));
+    }
+
+    public long total(Long userId) {
+        return checkinRepository.countByUser(getUserOrThrow(userId));
+    }
+
     public UserCheckinStats stats(Long userId) {
         return statsRepository.findById(userId).orElse(null);
     }
@@ -0,0 +1,109 @@
+-- Check-ins are range-partitioned by month on checkin_date so old months can be
+-- detached instead of vacuumed. Statements use a custom separator because of the
+-- dollar-quoted PL/pgSQL bodies (see spring.sql.init.separator).
+-- Both blocks below, and both functions, take the same transaction-scoped advisory lock
+-- so that several app instances booting or running maintenance together do not race.
+
+-- Functions are (re)created under the lock, and only when missing or outdated, since two
+-- sessions running CREATE OR REPLACE FUNCTION at once can fail with "tuple concurrently updated".
+DO $do$
+DECLARE
+    v_create text := $fn$
+DECLARE
+    v_start date := date_trunc('month', p_month)::date;
+    v_name  text := 'checkins_p' || to_char(v_start, 'YYYYMM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('checkins_partitions'));
+    IF to_regclass(v_name) IS NOT NULL THEN
+        IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                       WHERE inhrelid = to_regclass(v_name) AND inhparent = 'checkins'::regclass) THEN
+            RAISE EXCEPTION 'table % exists but is not a partition of checkins', v_name;
+        END IF;
+        RETURN v_name;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF checkins FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_start, (v_start + interval '1 month')::date);
+    RETURN v_name;
+END;
+$fn$;
+    v_detach text := $fn$
+DECLARE
+    v_part record;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('checkins_partitions'));
+    FOR v_part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'checkins'::regclass
+          AND c.relname ~ '^checkins_p[0-9]{6}$'
+          AND to_date(substr(c.relname, 11), 'YYYYMM') + interval '1 month' <= p_cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE checkins DETACH PARTITION %I', v_part.relname);
+        RETURN NEXT v_part.relname;
+    END LOOP;
+END;
+$fn$;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('checkins_partitions'));
+
+    IF v_create IS DISTINCT FROM (SELECT prosrc FROM pg_proc
+                                  WHERE oid = to_regprocedure('create_checkins_partition(date)')) THEN
+        EXECUTE format('CREATE OR REPLACE FUNCTION create_checkins_partition(p_month date) '
+                       'RETURNS text AS %L LANGUAGE plpgsql', v_create);
+    END IF;
+    IF v_detach IS DISTINCT FROM (SELECT prosrc FROM pg_proc
+                                  WHERE oid = to_regprocedure('detach_checkins_partitions_before(date)')) THEN
+        EXECUTE format('CREATE OR REPLACE FUNCTION detach_checkins_partitions_before(p_cutoff date) '
+                       'RETURNS SETOF text AS %L LANGUAGE plpgsql', v_detach);
+    END IF;
+END;
+$do$^;
+
+DO $$
+DECLARE
+    v_legacy boolean;
+    v_month  date;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('checkins_partitions'));
+
+    -- An existing plain checkins table (created by Hibernate) is moved aside as checkins_legacy
+    -- and copied over. checkins_legacy is kept; drop it by hand once the copy has been checked.
+    SELECT relkind = 'r' INTO v_legacy FROM pg_class WHERE oid = to_regclass('checkins');
+    IF v_legacy THEN
+        IF to_regclass('checkins_legacy') IS NOT NULL THEN
+            RAISE EXCEPTION 'checkins_legacy already exists; drop or rename it before migrating checkins again';
+        END IF;
+        ALTER TABLE checkins RENAME TO checkins_legacy;
+        ALTER INDEX IF EXISTS checkins_pkey RENAME TO checkins_legacy_pkey;
+        ALTER INDEX IF EXISTS uk_checkins_user_date RENAME TO uk_checkins_legacy_user_date;
+        EXECUTE format('ALTER SEQUENCE %s RENAME TO checkins_legacy_id_seq',
+                       pg_get_serial_sequence('checkins_legacy', 'id'));
+    END IF;
+
+    -- The partition key must be part of every unique constraint, hence the (id, checkin_date) key.
+    -- The users foreign key is left to Hibernate since users may not exist yet on a fresh database.
+    CREATE SEQUENCE IF NOT EXISTS checkins_id_seq;
+    CREATE TABLE IF NOT EXISTS checkins (
+        id           bigint       NOT NULL DEFAULT nextval('checkins_id_seq'),
+        user_id      bigint       NOT NULL,
+        checkin_date date         NOT NULL,
+        created_at   timestamp(6) NOT NULL,
+        CONSTRAINT checkins_pkey PRIMARY KEY (id, checkin_date),
+        CONSTRAINT uk_checkins_user_date UNIQUE (user_id, checkin_date)
+    ) PARTITION BY RANGE (checkin_date);
+    ALTER SEQUENCE checkins_id_seq OWNED BY checkins.id;
+
+    IF v_legacy THEN
+        FOR v_month IN SELECT DISTINCT date_trunc('month', checkin_date)::date FROM checkins_legacy LOOP
+            PERFORM create_checkins_partition(v_month);
+        END LOOP;
+        INSERT INTO checkins (id, user_id, checkin_date, created_at)
+            SELECT id, user_id, checkin_date, created_at FROM checkins_legacy;
+        PERFORM setval('checkins_id_seq', COALESCE((SELECT max(id) FROM checkins), 0) + 1, false);
+    END IF;
+
+    PERFORM create_checkins_partition(current_date);
+END;
+$$^;
@@ -0,0 +1,131 @@
+package io.github.xduwzh.fitbuddy;
+
+import io.github.xduwzh.fitbuddy.entity.Checkin;
+import io.github.xduwzh.fitbuddy.entity.User;
+import io.github.xduwzh.fitbuddy.repository.CheckinRepository;
+import io.github.xduwzh.fitbuddy.repository.UserRepository;
+import io.github.xduwzh.fitbuddy.service.CheckinPartitionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots the app against a database that still has the plain checkins table Hibernate used to create,
+// so schema.sql has to migrate it into the partitioned layout on startup.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CheckinPartitioningTests {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        seedLegacySchema();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    // Mirrors the DDL Hibernate generated for User and Checkin before checkins was partitioned
+    private static void seedLegacySchema() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbc.execute("create table users (id bigint generated by default as identity, email varchar(255) not null unique, "
+                + "password varchar(255) not null, username varchar(255) not null, primary key (id))");
+        jdbc.execute("create table checkins (checkin_date date not null, created_at timestamp(6) not null, "
+                + "id bigint generated by default as identity, user_id bigint not null, primary key (id), "
+                + "constraint uk_checkins_user_date unique (user_id, checkin_date))");
+        jdbc.execute("alter table if exists checkins add constraint FKlegacycheckinsuser foreign key (user_id) references users");
+        jdbc.update("insert into users (id, email, password, username) values (1, 'a@example.com', 'x', 'a'), (2, 'b@example.com', 'x', 'b')");
+        jdbc.update("insert into checkins (id, user_id, checkin_date, created_at) values "
+                + "(3, 1, '2023-11-05', '2023-11-05 08:00:00'), "
+                + "(7, 1, '2023-12-31', '2023-12-31 21:15:00'), "
+                + "(8, 2, '2023-12-31', '2023-12-31 22:30:00'), "
+                + "(42, 2, '2024-01-01', '2024-01-01 07:45:00')");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CheckinRepository checkinRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CheckinPartitionService partitionService;
+
+    @Test
+    void startupMigratesLegacyTableIntoPartitions() {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('checkins')", String.class);
+        assertEquals("p", relkind);
+        // The old table is kept for manual verification
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT count(*) FROM checkins_legacy", Integer.class));
+
+        List<List<Object>> rows = jdbcTemplate.query(
+                "SELECT id, user_id, checkin_date, created_at FROM checkins WHERE checkin_date < DATE '2024-02-01' ORDER BY id",
+                (rs, i) -> List.of(rs.getLong("id"), rs.getLong("user_id"),
+                        rs.getObject("checkin_date", LocalDate.class),
+                        rs.getObject("created_at", LocalDateTime.class)));
+        assertEquals(List.of(
+                List.of(3L, 1L, LocalDate.of(2023, 11, 5), LocalDateTime.of(2023, 11, 5, 8, 0)),
+                List.of(7L, 1L, LocalDate.of(2023, 12, 31), LocalDateTime.of(2023, 12, 31, 21, 15)),
+                List.of(8L, 2L, LocalDate.of(2023, 12, 31), LocalDateTime.of(2023, 12, 31, 22, 30)),
+                List.of(42L, 2L, LocalDate.of(2024, 1, 1), LocalDateTime.of(2024, 1, 1, 7, 45))), rows);
+
+        List<String> partitions = attachedPartitions();
+        assertTrue(partitions.containsAll(List.of("checkins_p202311", "checkins_p202312", "checkins_p202401")));
+        assertTrue(partitions.contains("checkins_p" + LocalDate.now().toString().substring(0, 7).replace("-", "")));
+    }
+
+    @Test
+    @Transactional
+    void nextIdContinuesAfterCopiedMaximum() {
+        User user = userRepository.findById(1L).orElseThrow();
+        Checkin saved = checkinRepository.save(Checkin.builder().user(user).checkinDate(LocalDate.now()).build());
+        assertTrue(saved.getId() > 42, "expected id above 42 but got " + saved.getId());
+    }
+
+    @Test
+    void detachesOnlyPartitionsEndingOnOrBeforeCutoff() {
+        partitionService.createPartition(LocalDate.of(2020, 1, 1));
+        partitionService.createPartition(LocalDate.of(2020, 2, 1));
+        partitionService.createPartition(LocalDate.of(2020, 3, 1));
+
+        List<String> detached = partitionService.detachPartitionsBefore(LocalDate.of(2020, 3, 1));
+
+        assertEquals(List.of("checkins_p202001", "checkins_p202002"), detached);
+        List<String> partitions = attachedPartitions();
+        assertFalse(partitions.contains("checkins_p202001"));
+        assertFalse(partitions.contains("checkins_p202002"));
+        assertTrue(partitions.containsAll(List.of("checkins_p202003", "checkins_p202311")));
+        assertEquals("r", jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('checkins_p202001')", String.class));
+
+        // A detached partition must not be reported back as if it were attached
+        assertThrows(DataAccessException.class, () -> partitionService.createPartition(LocalDate.of(2020, 1, 15)));
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'checkins'::regclass", String.class);
+    }
+}
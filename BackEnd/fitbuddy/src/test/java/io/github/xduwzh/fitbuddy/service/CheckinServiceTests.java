@@ -0,0 +1,106 @@
+package io.github.xduwzh.fitbuddy.service;
+
+import io.github.xduwzh.fitbuddy.entity.User;
+import io.github.xduwzh.fitbuddy.repository.CheckinRepository;
+import io.github.xduwzh.fitbuddy.repository.UserCheckinStatsRepository;
+import io.github.xduwzh.fitbuddy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckinServiceTests {
+
+    @Mock
+    private CheckinRepository checkinRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCheckinStatsRepository statsRepository;
+
+    @Mock
+    private RedisCheckinBitmapService bitmapService;
+
+    @InjectMocks
+    private CheckinService checkinService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void historyRaisesLimitBelowOneToOne() {
+        checkinService.history(1L, null, 0);
+        checkinService.history(1L, null, -5);
+
+        ArgumentCaptor<Limit> limit = ArgumentCaptor.forClass(Limit.class);
+        verify(checkinRepository, times(2)).findByUserOrderByCheckinDateAsc(eq(user), limit.capture());
+        assertEquals(List.of(1, 1), limit.getAllValues().stream().map(Limit::max).toList());
+    }
+
+    @Test
+    void historyCapsLimitAtMaxPageSize() {
+        checkinService.history(1L, null, 500);
+
+        ArgumentCaptor<Limit> limit = ArgumentCaptor.forClass(Limit.class);
+        verify(checkinRepository).findByUserOrderByCheckinDateAsc(eq(user), limit.capture());
+        assertEquals(100, limit.getValue().max());
+    }
+
+    @Test
+    void historyWithoutCursorReadsFirstPage() {
+        checkinService.history(1L, null, 30);
+
+        verify(checkinRepository).findByUserOrderByCheckinDateAsc(eq(user), any(Limit.class));
+        verify(checkinRepository, never()).findByUserAndCheckinDateAfterOrderByCheckinDateAsc(any(), any(), any());
+    }
+
+    @Test
+    void historyPassesCursorThrough() {
+        LocalDate after = LocalDate.of(2024, 1, 1);
+
+        checkinService.history(1L, after, 30);
+
+        ArgumentCaptor<Limit> limit = ArgumentCaptor.forClass(Limit.class);
+        verify(checkinRepository).findByUserAndCheckinDateAfterOrderByCheckinDateAsc(eq(user), eq(after), limit.capture());
+        assertEquals(30, limit.getValue().max());
+        verify(checkinRepository, never()).findByUserOrderByCheckinDateAsc(any(), any());
+    }
+
+    @Test
+    void calendarRejectsRangesLongerThanAYear() {
+        assertThrows(IllegalArgumentException.class,
+                () -> checkinService.calendar(1L, LocalDate.of(1970, 1, 1), LocalDate.of(2024, 1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> checkinService.calendar(1L, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)));
+        verifyNoInteractions(checkinRepository, bitmapService);
+    }
+
+    @Test
+    void totalCountsCheckinsOfUser() {
+        when(checkinRepository.countByUser(user)).thenReturn(12L);
+
+        assertEquals(12L, checkinService.total(1L));
+    }
+}
@@ -35,12 +35,9 @@ export default function StatsPage() {
           longestStreak: s.data?.longestStreak ?? 0,
         });
 
-        // 2) total check-ins since epoch
-        const epoch = new Date(1970, 0, 1);
-        const total = await http.get("/checkin/calendar", {
-          params: { userId, start: fmt(epoch), end: fmt(now) },
-        });
-        setTotalCheckins((total.data || []).length);
+        // 2) total check-ins
+        const total = await http.get("/checkin/total", { params: { userId } });
+        setTotalCheckins(total.data ?? 0);
 
         // 3) current month matrix
         const year = now.getFullYear();